@@ -7,8 +7,7 @@ import java.io.PrintWriter;
 import java.net.BindException;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
@@ -32,20 +31,16 @@ public class CouncilMember implements PaxosNode {
     private final Map<String, String> networkConfig;
 
 
+    // Member IDs in natural order; a member's index is its ordinal in packed ballots and voter bitmaps.
+    private final String[] memberIds;
+
+
     // Counter for generating unique proposal numbers, incremented per proposal.
     private final AtomicInteger proposalCounter = new AtomicInteger(0);
-    // Highest proposal number seen so far, used to compare proposals.
-    private int highestProposalNumber = -1;
-    // Member ID associated with the highest proposal number.
-    private String highestProposalId = "";
-
-
-    // Value accepted by this node (e.g., candidate name like "M5").
-    private String acceptedValue = null;
-    // Proposal number of the accepted value.
-    private int acceptedProposalNumber = -1;
-    // Member ID of the accepted proposal.
-    private String acceptedProposalId = "";
+    // Slot of the single election this node takes part in.
+    private static final int INSTANCE = 0;
+    // Promised/accepted ballots, backed value and voter sets for the election.
+    private final PaxosStateStore state = new PaxosStateStore(1);
     // Flag indicating if the node is running and accepting messages.
     private volatile boolean isRunning = true;
 
@@ -63,10 +58,6 @@ public class CouncilMember implements PaxosNode {
     
     // Thread pool for handling incoming messages and input asynchronously.
     private final ExecutorService executor = Executors.newCachedThreadPool();
-    // List of member IDs that sent PROMISE messages for the current proposal.
-    private final List<String> receivedPromises = new ArrayList<>();
-    // List of member IDs that sent ACCEPTED messages for the current value.
-    private final List<String> receivedAccepts = new ArrayList<>();
 
     // for testing
     public String getMemberId() {
@@ -84,6 +75,11 @@ public class CouncilMember implements PaxosNode {
         this.memberId = memberId;
         this.profile = "standard";
         this.networkConfig = NetworkConfig.loadConfig(configFile);
+        if (networkConfig.size() > PaxosStateStore.MAX_MEMBERS) {
+            throw new IllegalArgumentException("at most " + PaxosStateStore.MAX_MEMBERS + " members supported, got " + networkConfig.size());
+        }
+        this.memberIds = networkConfig.keySet().toArray(new String[0]);
+        Arrays.sort(memberIds);
     }
 
     /**
@@ -174,9 +170,11 @@ public class CouncilMember implements PaxosNode {
             String proposalNumber = proposalCounter.incrementAndGet() + "." + memberId;
             System.out.println(memberId + " proposing candidate " + candidate + " with proposal " + proposalNumber);
             // Clear previous state for this proposal round.
-            receivedPromises.clear();
-            receivedAccepts.clear();
-            acceptedValue = candidate;
+            synchronized (this) {
+                state.clearPromises(INSTANCE);
+                state.clearAccepts(INSTANCE);
+                state.setValue(INSTANCE, candidate);
+            }
             // Broadcast PREPARE message to initiate Paxos phase 1.
             broadcastMessage("PREPARE:" + memberId + ":" + proposalNumber + ":" + candidate);
         } else {
@@ -301,17 +299,18 @@ public class CouncilMember implements PaxosNode {
     private void handlePrepare(String[] parts) {
         String proposerId = parts[1];
         String proposalNumber = parts[2];
-        String candidate = parts[3];
-        // Check if the proposal number is higher than the current highest.
-        if (compareProposalNumbers(proposalNumber, highestProposalNumber, highestProposalId) > 0) {
-            // Update highest proposal seen.
-            String[] numParts = proposalNumber.split("\\.");
-            highestProposalNumber = Integer.parseInt(numParts[0]);
-            highestProposalId = numParts[1];
+        long ballot = parseBallot(proposalNumber);
+        if (ballot == PaxosStateStore.NO_BALLOT) {
+            System.err.println(memberId + " invalid proposal number: " + proposalNumber);
+            return;
+        }
+        // Promise only if the proposal number is higher than the current highest.
+        if (state.tryPromise(INSTANCE, ballot)) {
             // Construct PROMISE response, including any previously accepted value.
             String response = "PROMISE:" + memberId + ":" + proposalNumber;
-            if (acceptedValue != null) {
-                response += ":" + acceptedProposalNumber + "." + acceptedProposalId + ":" + acceptedValue;
+            String value = state.value(INSTANCE);
+            if (value != null) {
+                response += ":" + formatBallot(state.acceptedBallot(INSTANCE)) + ":" + value;
             }
             sendMessage(proposerId, response);
         }
@@ -326,17 +325,21 @@ public class CouncilMember implements PaxosNode {
     private void handlePromise(String[] parts) {
         String responderId = parts[1];
         String proposalNumber = parts[2];
-        synchronized (receivedPromises) {
+        int responderOrdinal = ordinalOf(responderId);
+        if (responderOrdinal < 0) {
+            System.err.println(memberId + " promise from unknown member: " + responderId);
+            return;
+        }
+        synchronized (this) {
             if (!hasReachedConsensus) {
-                // Add responder to the list of received promises.
-                receivedPromises.add(responderId);
-                // Check if majority (5 of 9 nodes) has been reached.
-                if (receivedPromises.size() >= 5) {
-                    if (acceptedValue != null) {
+                // Add responder to the set of received promises and check if majority (5 of 9 nodes) has been reached.
+                if (state.recordPromise(INSTANCE, responderOrdinal) >= 5) {
+                    String value = state.value(INSTANCE);
+                    if (value != null) {
                         // Send ACCEPT_REQUEST to move to Paxos phase 2.
-                        System.out.println(memberId + " received majority promises, sending ACCEPT_REQUEST for " + acceptedValue);
-                        broadcastMessage("ACCEPT_REQUEST:" + memberId + ":" + proposalNumber + ":" + acceptedValue);
-                        receivedPromises.clear();
+                        System.out.println(memberId + " received majority promises, sending ACCEPT_REQUEST for " + value);
+                        broadcastMessage("ACCEPT_REQUEST:" + memberId + ":" + proposalNumber + ":" + value);
+                        state.clearPromises(INSTANCE);
                     } else {
                         System.err.println(memberId + " error: No candidate available for ACCEPT_REQUEST");
                     }
@@ -355,14 +358,13 @@ public class CouncilMember implements PaxosNode {
         String proposerId = parts[1];
         String proposalNumber = parts[2];
         String candidate = parts[3];
-        // Accept the value if the proposal number is valid.
-        if (compareProposalNumbers(proposalNumber, highestProposalNumber, highestProposalId) >= 0) {
-            String[] numParts = proposalNumber.split("\\.");
-            highestProposalNumber = Integer.parseInt(numParts[0]);
-            highestProposalId = numParts[1];
-            acceptedProposalNumber = highestProposalNumber;
-            acceptedProposalId = highestProposalId;
-            acceptedValue = candidate;
+        long ballot = parseBallot(proposalNumber);
+        if (ballot == PaxosStateStore.NO_BALLOT) {
+            System.err.println(memberId + " invalid proposal number: " + proposalNumber);
+            return;
+        }
+        // Accept the value if the proposal number is at least the highest promised.
+        if (state.tryAccept(INSTANCE, ballot, candidate)) {
             // Record this node's acceptance and broadcast ACCEPTED message.
             processAcceptVote(memberId, candidate);
             broadcastMessage("ACCEPTED:" + memberId + ":" + proposalNumber + ":" + candidate);
@@ -398,13 +400,17 @@ public class CouncilMember implements PaxosNode {
         synchronized (this) {
             if (hasReachedConsensus) return;
 
-            receivedAccepts.add(voterId);
+            int voterOrdinal = ordinalOf(voterId);
+            if (voterOrdinal < 0) {
+                System.err.println(memberId + " accept vote from unknown member: " + voterId);
+                return;
+            }
             int majority = (networkConfig.size() / 2) + 1;
-            if (receivedAccepts.size() >= majority) {
+            if (state.recordAccept(INSTANCE, voterOrdinal) >= majority) {
                 System.out.println("CONSENSUS: " + candidate + " has been elected Council President!");
                 hasReachedConsensus = true;
                 isRunning = false;
-                receivedAccepts.clear();
+                state.clearAccepts(INSTANCE);
                 executor.shutdownNow();
                 try {
                     if (serverSocket != null && !serverSocket.isClosed()) serverSocket.close();
@@ -512,25 +518,69 @@ public class CouncilMember implements PaxosNode {
     }
 
     /**
-     * Compares a new proposal number with the current highest proposal number.
+     * Parses a proposal number into a packed ballot without allocating.
      * Proposal numbers are in the format "counter.memberId" (e.g., "1.M4").
-     * Compares counters first, then member IDs if counters are equal.
+     * Packed ballots compare counters first, then member IDs if counters are equal.
+     *
+     * @param proposalNumber The proposal number (e.g., "1.M4").
+     * @return The packed ballot, or NO_BALLOT if the proposal number is malformed or names an unknown member.
+     */
+    private long parseBallot(String proposalNumber) {
+        int dot = proposalNumber.indexOf('.');
+        if (dot <= 0) {
+            return PaxosStateStore.NO_BALLOT;
+        }
+        int counter;
+        try {
+            counter = Integer.parseInt(proposalNumber, 0, dot, 10);
+        } catch (NumberFormatException e) {
+            return PaxosStateStore.NO_BALLOT;
+        }
+        int ordinal = ordinalOf(proposalNumber, dot + 1);
+        if (counter < 0 || ordinal < 0) {
+            return PaxosStateStore.NO_BALLOT;
+        }
+        return PaxosStateStore.ballot(counter, ordinal);
+    }
+
+    /**
+     * Formats a packed ballot back into "counter.memberId" form.
      *
-     * @param newProposal       The new proposal number (e.g., "1.M4").
-     * @param currentMax        The current highest proposal counter.
-     * @param currentId         The member ID of the current highest proposal.
-     * @return Positive if newProposal is higher, negative if lower, zero if equal.
+     * @param ballot The packed ballot.
+     * @return The proposal number (e.g., "1.M4"), or "-1." if no ballot has been accepted.
      */
-    private int compareProposalNumbers(String newProposal, int currentMax, String currentId) {
-        if (currentMax == -1) {
-            return 1; // No previous proposal, accept the new one.
+    private String formatBallot(long ballot) {
+        if (ballot == PaxosStateStore.NO_BALLOT) {
+            return "-1.";
         }
-        String[] newParts = newProposal.split("\\.");
-        int newNum = Integer.parseInt(newParts[0]);
-        if (newNum != currentMax) {
-            return Integer.compare(newNum, currentMax);
+        return PaxosStateStore.ballotCounter(ballot) + "." + memberIds[PaxosStateStore.ballotMember(ballot)];
+    }
+
+    /**
+     * Looks up a member's ordinal.
+     *
+     * @param id The member ID (e.g., "M1").
+     * @return The ordinal, or -1 if the member is not in the network configuration.
+     */
+    private int ordinalOf(String id) {
+        return ordinalOf(id, 0);
+    }
+
+    /**
+     * Looks up the ordinal of the member ID occupying the tail of a string, starting at an offset.
+     *
+     * @param s      The string containing the member ID.
+     * @param offset Index where the member ID starts.
+     * @return The ordinal, or -1 if no configured member matches.
+     */
+    private int ordinalOf(String s, int offset) {
+        int length = s.length() - offset;
+        for (int i = 0; i < memberIds.length; i++) {
+            if (memberIds[i].length() == length && s.regionMatches(offset, memberIds[i], 0, length)) {
+                return i;
+            }
         }
-        return newParts[1].compareTo(currentId);
+        return -1;
     }
 
     /**
@@ -0,0 +1,176 @@
+package main.java.impl;
+
+import java.util.Arrays;
+
+/**
+ * Compact per-instance Paxos state for acceptor and proposer roles.
+ * State is kept as parallel primitive arrays (struct-of-arrays) indexed by
+ * instance slot, so a store sized for many instances is a handful of flat
+ * arrays rather than one object graph per instance, and updating it never
+ * allocates.
+ *
+ * Ballots ("counter.memberId", e.g. "1.M4") are packed into a single long:
+ * the counter in the high 32 bits and the member ordinal in the low 32 bits.
+ * Ordinals follow the natural order of member IDs, so comparing two packed
+ * ballots as longs gives the same result as comparing counters first and then
+ * member IDs. Voter sets are bitmaps with one bit per member ordinal, which
+ * caps a council at {@link #MAX_MEMBERS} members.
+ *
+ * The store is not thread-safe; callers must guard access externally.
+ */
+public final class PaxosStateStore {
+    // Sentinel for "no ballot seen yet"; lower than every valid packed ballot.
+    public static final long NO_BALLOT = -1L;
+    // Maximum number of members representable in a voter bitmap.
+    public static final int MAX_MEMBERS = Long.SIZE;
+
+    // Highest ballot promised (or accepted) per instance.
+    private final long[] promisedBallots;
+    // Ballot of the accepted value per instance.
+    private final long[] acceptedBallots;
+    // Value currently backed per instance: the proposer's candidate or the last accepted value.
+    private final String[] values;
+    // Bitmap of members that sent PROMISE per instance.
+    private final long[] promiseVoters;
+    // Bitmap of members that sent ACCEPTED per instance.
+    private final long[] acceptVoters;
+
+    /**
+     * Creates a store with a fixed number of instance slots, all initially empty.
+     *
+     * @param capacity Number of instance slots to allocate.
+     */
+    public PaxosStateStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.promisedBallots = new long[capacity];
+        this.acceptedBallots = new long[capacity];
+        this.values = new String[capacity];
+        this.promiseVoters = new long[capacity];
+        this.acceptVoters = new long[capacity];
+        Arrays.fill(promisedBallots, NO_BALLOT);
+        Arrays.fill(acceptedBallots, NO_BALLOT);
+    }
+
+    /**
+     * Packs a proposal counter and member ordinal into a single ballot.
+     *
+     * @param counter       The proposal counter (non-negative).
+     * @param memberOrdinal The proposer's ordinal in [0, MAX_MEMBERS).
+     * @return The packed ballot.
+     */
+    public static long ballot(int counter, int memberOrdinal) {
+        return ((long) counter << 32) | (memberOrdinal & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @param ballot A packed ballot.
+     * @return The proposal counter of the ballot.
+     */
+    public static int ballotCounter(long ballot) {
+        return (int) (ballot >>> 32);
+    }
+
+    /**
+     * @param ballot A packed ballot.
+     * @return The proposer's member ordinal of the ballot.
+     */
+    public static int ballotMember(long ballot) {
+        return (int) ballot;
+    }
+
+    /**
+     * Records a promise for the given ballot if it is higher than any seen so far.
+     *
+     * @param instance The instance slot.
+     * @param ballot   The packed ballot from the PREPARE message.
+     * @return true if the promise was made, false if the ballot is stale.
+     */
+    public boolean tryPromise(int instance, long ballot) {
+        if (ballot > promisedBallots[instance]) {
+            promisedBallots[instance] = ballot;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Accepts a value for the given ballot if it is at least as high as the promised one.
+     *
+     * @param instance The instance slot.
+     * @param ballot   The packed ballot from the ACCEPT_REQUEST message.
+     * @param value    The value to accept.
+     * @return true if the value was accepted, false if the ballot is stale.
+     */
+    public boolean tryAccept(int instance, long ballot, String value) {
+        if (ballot >= promisedBallots[instance]) {
+            promisedBallots[instance] = ballot;
+            acceptedBallots[instance] = ballot;
+            values[instance] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a member to the promise set of an instance.
+     *
+     * @param instance      The instance slot.
+     * @param memberOrdinal The ordinal of the member that sent PROMISE.
+     * @return The number of distinct members that have promised.
+     */
+    public int recordPromise(int instance, int memberOrdinal) {
+        promiseVoters[instance] |= 1L << memberOrdinal;
+        return Long.bitCount(promiseVoters[instance]);
+    }
+
+    /**
+     * Adds a member to the accept set of an instance.
+     *
+     * @param instance      The instance slot.
+     * @param memberOrdinal The ordinal of the member that sent ACCEPTED.
+     * @return The number of distinct members that have accepted.
+     */
+    public int recordAccept(int instance, int memberOrdinal) {
+        acceptVoters[instance] |= 1L << memberOrdinal;
+        return Long.bitCount(acceptVoters[instance]);
+    }
+
+    public long promisedBallot(int instance) {
+        return promisedBallots[instance];
+    }
+
+    public long acceptedBallot(int instance) {
+        return acceptedBallots[instance];
+    }
+
+    public String value(int instance) {
+        return values[instance];
+    }
+
+    public void setValue(int instance, String value) {
+        values[instance] = value;
+    }
+
+    public void clearPromises(int instance) {
+        promiseVoters[instance] = 0L;
+    }
+
+    public void clearAccepts(int instance) {
+        acceptVoters[instance] = 0L;
+    }
+
+    /**
+     * Returns an instance slot to its initial empty state so it can be reused.
+     *
+     * @param instance The instance slot.
+     */
+    public void reset(int instance) {
+        promisedBallots[instance] = NO_BALLOT;
+        acceptedBallots[instance] = NO_BALLOT;
+        values[instance] = null;
+        promiseVoters[instance] = 0L;
+        acceptVoters[instance] = 0L;
+    }
+}